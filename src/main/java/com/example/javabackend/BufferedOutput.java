@@ -0,0 +1,33 @@
+package com.example.javabackend;
+
+import java.util.stream.Collectors;
+
+/**
+ * Keeps all output in memory and puts it in the result's stdout and stderr
+ * fields; used wherever a caller wants one complete {@link ExecutionResult}.
+ */
+public class BufferedOutput implements OutputSink {
+
+    private final StringBuilder stdout = new StringBuilder();
+    private final StringBuilder stderr = new StringBuilder();
+
+    @Override
+    public synchronized void stdout(String chunk) {
+        stdout.append(chunk);
+    }
+
+    @Override
+    public synchronized void stderr(String chunk) {
+        stderr.append(chunk);
+    }
+
+    @Override
+    public synchronized void complete(ExecutionResult.Builder result) {
+        result.stdout(text(stdout)).stderr(text(stderr));
+    }
+
+    // Same line handling as reading the stream with BufferedReader.lines()
+    private static String text(StringBuilder buffer) {
+        return buffer.toString().lines().collect(Collectors.joining("\n"));
+    }
+}
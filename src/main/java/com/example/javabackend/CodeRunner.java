@@ -0,0 +1,383 @@
+package com.example.javabackend;
+
+import com.example.javabackend.ExecutionResult.Status;
+import com.example.javabackend.ExecutionResult.TestCaseResult;
+import org.springframework.stereotype.Component;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles and runs submissions for every supported language and reports the
+ * outcome as an {@link ExecutionResult}. Shared by the legacy and v3 endpoints.
+ */
+@Component
+public class CodeRunner {
+
+    private static final String CLASS_NAME = "Main";
+    private static final String TEST_CLASS_NAME = "MainTest";
+
+    // Matches ConsoleLauncher's ascii tree lines, e.g. "+-- testCase2() [X] expected: <1> but was: <2>";
+    // the failure message follows the marker on the same line
+    private static final Pattern TEST_CASE_LINE = Pattern.compile("(testCase\\d+)\\(\\)\\s+\\[(OK|X|A|S)\\]\\s*(.*)");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    // Upper bound on draining output after the process has exited
+    private static final long DRAIN_TIMEOUT_MILLIS = 5_000;
+
+    private final ExecutionTracer tracer;
+
+    public CodeRunner(ExecutionTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public ExecutionResult executeJava(String javaCode) {
+        return executeJava(javaCode, new BufferedOutput());
+    }
+
+    /**
+     * Runs a Java program, handing its output to {@code output} as it is
+     * produced; the same applies to the other single-program runners below.
+     */
+    public ExecutionResult executeJava(String javaCode, OutputSink output) {
+        ExecutionResult.Builder result = ExecutionResult.builder();
+        // Basic validation
+        if (!javaCode.contains("public class Main")) {
+            return result.message("Java code must contain a 'public class Main'.").build(Status.INVALID_REQUEST);
+        }
+
+        File javaFile = new File("Main.java");
+        File classFile = new File("Main.class");
+        TracedStage submission = tracer.submission("java", javaCode);
+
+        try (FileWriter writer = new FileWriter(javaFile)) {
+            writer.write(javaCode);
+            writer.flush();
+
+            // 1. Compile the Java file
+            long compileStart = System.nanoTime();
+            try (TracedStage compile = tracer.stage("compile")) {
+                Process compileProcess = new ProcessBuilder("javac", "Main.java").start();
+                if (!compileProcess.waitFor(10, TimeUnit.SECONDS)) {
+                    compileProcess.destroy();
+                    compile.timedOut();
+                    return finish(submission, result.compileMillis(millisSince(compileStart)).build(Status.COMPILATION_TIMEOUT));
+                }
+
+                compile.exitCode(compileProcess.exitValue());
+                result.compileMillis(millisSince(compileStart));
+                if (compileProcess.exitValue() != 0) {
+                    return finish(submission, result.exitCode(compileProcess.exitValue())
+                            .stderr(readInputStream(compileProcess.getErrorStream()))
+                            .build(Status.COMPILATION_ERROR));
+                }
+            }
+
+            // 2. Run the compiled Java class
+            long runStart = System.nanoTime();
+            Process runProcess;
+            try (TracedStage start = tracer.stage("process.start")) {
+                runProcess = new ProcessBuilder("java", "Main").start();
+            }
+            OutputPump pump = OutputPump.start(runProcess, output);
+            try (TracedStage execute = tracer.stage("execute")) {
+                if (!runProcess.waitFor(10, TimeUnit.SECONDS)) {
+                    runProcess.destroy();
+                    execute.timedOut();
+                    return finish(submission, result.runMillis(millisSince(runStart)).build(Status.TIMEOUT));
+                }
+                execute.exitCode(runProcess.exitValue());
+                result.exitCode(runProcess.exitValue()).runMillis(millisSince(runStart));
+            }
+
+            try (TracedStage read = tracer.stage("read-output")) {
+                pump.await(DRAIN_TIMEOUT_MILLIS);
+                output.complete(result);
+            }
+
+            return finish(submission, result.build(runProcess.exitValue() == 0 ? Status.SUCCESS : Status.RUNTIME_ERROR));
+
+        } catch (IOException | InterruptedException e) {
+            submission.error(e);
+            return finish(submission, result.message(e.getMessage()).build(Status.SERVER_ERROR));
+        } finally {
+            // 3. Clean up the files
+            if (javaFile.exists()) javaFile.delete();
+            if (classFile.exists()) classFile.delete();
+            submission.close();
+        }
+    }
+
+    public ExecutionResult executeTests(Map<String, Object> requestBody) {
+        ExecutionResult.Builder result = ExecutionResult.builder();
+        // Basic validation, before anything is cast
+        if (!(requestBody.get("code") instanceof String javaCode)) {
+            return result.message("'code' must be a string.").build(Status.INVALID_REQUEST);
+        }
+        if (!(requestBody.get("testCases") instanceof List<?> rawTestCases)
+                || !rawTestCases.stream().allMatch(testCase -> testCase instanceof Map)) {
+            return result.message("'testCases' must be a list of objects.").build(Status.INVALID_REQUEST);
+        }
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> testCases = (List<Map<String, Object>>) rawTestCases;
+
+        File javaFile = new File(CLASS_NAME + ".java");
+        File testFile = new File(TEST_CLASS_NAME + ".java");
+        TracedStage submission = tracer.submission("java-junit", javaCode);
+
+        try {
+            try (FileWriter writer = new FileWriter(javaFile)) {
+                writer.write(javaCode);
+            }
+            
+            String testCode = generateTestClass(testCases);
+            try (FileWriter writer = new FileWriter(testFile)) {
+                writer.write(testCode);
+            }
+
+            StringBuilder classpathBuilder = new StringBuilder();
+            classpathBuilder.append(System.getProperty("java.class.path"));
+            
+            File targetClasses = new File("target/classes");
+            if (targetClasses.exists()) {
+                classpathBuilder.append(File.pathSeparator).append(targetClasses.getAbsolutePath());
+            }
+            
+            File targetDependency = new File("target/dependency");
+            if (targetDependency.exists()) {
+                File[] jars = targetDependency.listFiles((dir, name) -> name.endsWith(".jar"));
+                if (jars != null) {
+                    for (File jar : jars) {
+                        classpathBuilder.append(File.pathSeparator).append(jar.getAbsolutePath());
+                    }
+                }
+            }
+            
+            String classpath = classpathBuilder.toString();
+            
+            ProcessBuilder compileProcessBuilder = new ProcessBuilder(
+                "javac",
+                "-d", "target/classes",
+                "-cp", classpath,
+                javaFile.getPath(),
+                testFile.getPath()
+            );
+            
+            String compilationErrors;
+            int exitCode;
+            long compileStart = System.nanoTime();
+            try (TracedStage compile = tracer.stage("compile")) {
+                Process compileProcess = compileProcessBuilder.start();
+                compilationErrors = readInputStream(compileProcess.getErrorStream());
+                exitCode = compileProcess.waitFor();
+                compile.exitCode(exitCode);
+            }
+            result.compileMillis(millisSince(compileStart));
+            if (exitCode != 0) {
+                return finish(submission, result.exitCode(exitCode).stderr(compilationErrors).build(Status.COMPILATION_ERROR));
+            }
+
+            File junitStandaloneJar = null;
+            if (targetDependency.exists()) {
+                File[] jars = targetDependency.listFiles((dir, name) -> name.contains("junit-platform-console-standalone"));
+                if (jars != null && jars.length > 0) junitStandaloneJar = jars[0];
+            }
+            
+            if (junitStandaloneJar == null) {
+                return finish(submission, result.message("JUnit Standalone JAR not found in target/dependency.").build(Status.ENVIRONMENT_ERROR));
+            }
+            
+            String testClasspath = "target/classes" + File.pathSeparator + junitStandaloneJar.getAbsolutePath();
+            ProcessBuilder testProcessBuilder = new ProcessBuilder(
+                "java", "-cp", testClasspath, "org.junit.platform.console.ConsoleLauncher",
+                "--select-class=" + TEST_CLASS_NAME, "--details=tree", "--details-theme=ascii", "--disable-ansi-colors"
+            );
+            
+            long runStart = System.nanoTime();
+            Process testProcess;
+            try (TracedStage start = tracer.stage("process.start")) {
+                testProcess = testProcessBuilder.start();
+            }
+            // ConsoleLauncher output is read while the tests run, so reading is part of this stage
+            String testOutput;
+            int testExitCode;
+            try (TracedStage junit = tracer.stage("junit")) {
+                testOutput = readInputStream(testProcess.getInputStream());
+                testExitCode = testProcess.waitFor();
+                junit.exitCode(testExitCode);
+            }
+            result.exitCode(testExitCode).runMillis(millisSince(runStart));
+            
+            result.tests(parseTestOutput(testOutput));
+            return finish(submission, result.build(testExitCode == 0 ? Status.SUCCESS : Status.TESTS_FAILED));
+            
+        } catch (Exception e) {
+            submission.error(e);
+            return finish(submission, result.message(e.getMessage()).build(Status.SERVER_ERROR));
+        } finally {
+            if (javaFile.exists()) javaFile.delete();
+            if (testFile.exists()) testFile.delete();
+            submission.close();
+        }
+    }
+
+    private String generateTestClass(List<Map<String, Object>> testCases) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import org.junit.jupiter.api.Test;\nimport static org.junit.jupiter.api.Assertions.*;\n\n");
+        sb.append("public class MainTest {\n");
+        for (int i = 0; i < testCases.size(); i++) {
+            Map<String, Object> testCase = testCases.get(i);
+            sb.append("    @Test\n    void testCase" + (i + 1) + "() {\n");
+            sb.append("        Main main = new Main();\n");
+            sb.append("        int[] expectedArray = new int[]{" + testCase.get("expected") + "};\n");
+            sb.append("        int[] actualArray = main.run(new int[]{" + testCase.get("input") + "});\n");
+            sb.append("        assertArrayEquals(expectedArray, actualArray);\n    }\n\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    public ExecutionResult executePython(String code) {
+        return executePython(code, new BufferedOutput());
+    }
+
+    public ExecutionResult executePython(String code, OutputSink output) {
+        return executeInterpreted("python", "main.py", code, output, "python3", "main.py");
+    }
+
+    public ExecutionResult executeJavaScript(String code) {
+        return executeJavaScript(code, new BufferedOutput());
+    }
+
+    public ExecutionResult executeJavaScript(String code, OutputSink output) {
+        return executeInterpreted("javascript", "main.js", code, output, "node", "main.js");
+    }
+
+    public ExecutionResult executeC(String code) {
+        return executeC(code, new BufferedOutput());
+    }
+
+    public ExecutionResult executeC(String code, OutputSink output) {
+        return executeCompiled("c", "main.c", code, output, "gcc main.c -o a.out", "./a.out");
+    }
+
+    public ExecutionResult executeCpp(String code) {
+        return executeCpp(code, new BufferedOutput());
+    }
+
+    public ExecutionResult executeCpp(String code, OutputSink output) {
+        return executeCompiled("cpp", "main.cpp", code, output, "g++ main.cpp -o a.out", "./a.out");
+    }
+
+    private ExecutionResult executeInterpreted(String language, String fileName, String code, OutputSink output, String... command) {
+        ExecutionResult.Builder result = ExecutionResult.builder();
+        TracedStage submission = tracer.submission(language, code);
+        try {
+            try (FileWriter writer = new FileWriter(fileName)) { writer.write(code); }
+            long runStart = System.nanoTime();
+            Process process;
+            try (TracedStage start = tracer.stage("process.start")) { process = new ProcessBuilder(command).start(); }
+            OutputPump pump = OutputPump.start(process, output);
+            try (TracedStage execute = tracer.stage("execute")) {
+                if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                    process.destroy();
+                    execute.timedOut();
+                    return finish(submission, result.runMillis(millisSince(runStart)).build(Status.TIMEOUT));
+                }
+                execute.exitCode(process.exitValue());
+                result.exitCode(process.exitValue()).runMillis(millisSince(runStart));
+            }
+            try (TracedStage read = tracer.stage("read-output")) {
+                pump.await(DRAIN_TIMEOUT_MILLIS);
+                output.complete(result);
+            }
+            return finish(submission, result.build(process.exitValue() == 0 ? Status.SUCCESS : Status.RUNTIME_ERROR));
+        } catch (Exception e) { submission.error(e); return finish(submission, result.message(e.getMessage()).build(Status.SERVER_ERROR)); }
+        finally { new File(fileName).delete(); submission.close(); }
+    }
+
+    private ExecutionResult executeCompiled(String language, String sourceFile, String code, OutputSink output, String compileCmd, String execCmd) {
+        ExecutionResult.Builder result = ExecutionResult.builder();
+        TracedStage submission = tracer.submission(language, code);
+        try {
+            try (FileWriter writer = new FileWriter(sourceFile)) { writer.write(code); }
+            long compileStart = System.nanoTime();
+            try (TracedStage compile = tracer.stage("compile")) {
+                Process process = new ProcessBuilder(compileCmd.split(" ")).start();
+                int exitCode = process.waitFor();
+                compile.exitCode(exitCode);
+                result.compileMillis(millisSince(compileStart));
+                if (exitCode != 0) {
+                        return finish(submission, result.exitCode(exitCode).stderr(readInputStream(process.getErrorStream())).build(Status.COMPILATION_ERROR));
+                }
+            }
+            long runStart = System.nanoTime();
+            Process exec;
+            try (TracedStage start = tracer.stage("process.start")) { exec = new ProcessBuilder(execCmd).start(); }
+            OutputPump pump = OutputPump.start(exec, output);
+            int exitCode;
+            try (TracedStage execute = tracer.stage("execute")) {
+                exitCode = exec.waitFor();
+                execute.exitCode(exitCode);
+            }
+            result.exitCode(exitCode).runMillis(millisSince(runStart));
+            try (TracedStage read = tracer.stage("read-output")) {
+                pump.await(DRAIN_TIMEOUT_MILLIS);
+                output.complete(result);
+            }
+            return finish(submission, result.build(exitCode == 0 ? Status.SUCCESS : Status.RUNTIME_ERROR));
+        } catch (Exception e) { submission.error(e); return finish(submission, result.message(e.getMessage()).build(Status.SERVER_ERROR)); }
+        finally { new File(sourceFile).delete(); new File(execCmd).delete(); submission.close(); }
+    }
+
+    // Submission span gets the exit code, and ERROR status for every outcome other than SUCCESS
+    private ExecutionResult finish(TracedStage submission, ExecutionResult result) {
+        if (result.exitCode() != null) submission.exitCode(result.exitCode());
+        if (result.status() != Status.SUCCESS) submission.error(result.status().name());
+        return result;
+    }
+
+    private long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private String readInputStream(InputStream is) throws IOException {
+        return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))
+                .lines().collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Parses ConsoleLauncher output produced with --details=tree --details-theme=ascii:
+     * one entry per generated test case from the tree, totals from the summary table.
+     */
+    static ExecutionResult.TestSummary parseTestOutput(String testOutput) {
+        int passed = 0, failed = 0, total = 0;
+        List<TestCaseResult> cases = new ArrayList<>();
+        for (String line : testOutput.split("\n")) {
+            Matcher caseMatcher = TEST_CASE_LINE.matcher(line);
+            if (caseMatcher.find()) {
+                String message = caseMatcher.group(3).trim();
+                cases.add(new TestCaseResult(caseMatcher.group(1), "OK".equals(caseMatcher.group(2)),
+                        message.isEmpty() ? null : message));
+                continue;
+            }
+
+            String cleanLine = line.replaceAll("[\\[\\]]", "").trim();
+            if (cleanLine.contains("tests found")) total = extractNumber(cleanLine);
+            else if (cleanLine.contains("tests successful")) passed = extractNumber(cleanLine);
+            else if (cleanLine.contains("tests failed")) failed = extractNumber(cleanLine);
+        }
+        return new ExecutionResult.TestSummary(passed, failed, total, cases);
+    }
+
+    private static int extractNumber(String line) {
+        Matcher m = NUMBER.matcher(line);
+        return m.find() ? Integer.parseInt(m.group()) : 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.javabackend;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Typed outcome of a code submission, returned by the /api/v3 endpoints as
+ * JSON or CBOR depending on the Accept header. Absent fields are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExecutionResult(Status status,
+                              String stdout,
+                              String stderr,
+                              Integer exitCode,
+                              String message,
+                              Timings timings,
+                              TestSummary tests) {
+
+    public enum Status {
+        SUCCESS,
+        INVALID_REQUEST,
+        COMPILATION_ERROR,
+        COMPILATION_TIMEOUT,
+        RUNTIME_ERROR,
+        TIMEOUT,
+        TESTS_FAILED,
+        SERVER_ERROR,
+        // The server is missing something it needs to run this kind of submission
+        ENVIRONMENT_ERROR,
+        // Rejected before execution
+        UNAUTHORIZED,
+        RATE_LIMITED,
+        SERVER_BUSY
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Timings(Long compileMillis, Long runMillis) {}
+
+    public record TestSummary(int passed, int failed, int total, List<TestCaseResult> cases) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record TestCaseResult(String name, boolean passed, String message) {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects fields as a submission moves through its stages; the status is
+     * supplied last, at whichever point the submission finishes.
+     */
+    public static class Builder {
+        private String stdout;
+        private String stderr;
+        private Integer exitCode;
+        private String message;
+        private Long compileMillis;
+        private Long runMillis;
+        private TestSummary tests;
+
+        public Builder stdout(String stdout) { this.stdout = stdout; return this; }
+
+        public Builder stderr(String stderr) { this.stderr = stderr; return this; }
+
+        public Builder exitCode(int exitCode) { this.exitCode = exitCode; return this; }
+
+        public Builder message(String message) { this.message = message; return this; }
+
+        public Builder compileMillis(long compileMillis) { this.compileMillis = compileMillis; return this; }
+
+        public Builder runMillis(long runMillis) { this.runMillis = runMillis; return this; }
+
+        public Builder tests(TestSummary tests) { this.tests = tests; return this; }
+
+        public ExecutionResult build(Status status) {
+            Timings timings = compileMillis == null && runMillis == null ? null : new Timings(compileMillis, runMillis);
+            return new ExecutionResult(status, stdout, stderr, exitCode, message, timings, tests);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.javabackend;
+
+import com.example.javabackend.ExecutionResult.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Typed result endpoints: same execution as {@link JavaCodeController}, but every
+ * outcome is an {@link ExecutionResult}, negotiated from the Accept header:
+ * <ul>
+ *   <li>{@code application/json} (default) or {@code application/cbor}: one
+ *       result document, written once the program has finished;</li>
+ *   <li>{@code application/x-ndjson} or {@code application/cbor-seq}: a stream
+ *       of {@link OutputEvent}s, output chunks as the program produces them and
+ *       the result last. JUnit runs report their output in the result only.</li>
+ * </ul>
+ * Execution outcomes, including compilation and runtime errors, are 200; invalid
+ * requests are 400 and server-side failures 500. Once streamed output has been
+ * sent the response is already committed as 200, and the final event's status
+ * is authoritative.
+ */
+@RestController
+@RequestMapping(value = "/api/v3", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+        MediaType.APPLICATION_NDJSON_VALUE, ExecutionResultController.APPLICATION_CBOR_SEQ_VALUE})
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ExecutionResultController {
+
+    // RFC 8742 CBOR sequence: CBOR items back to back; Spring has no constant for it
+    static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    private static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE);
+
+    // In order of preference when the Accept header allows several
+    private static final List<MediaType> SUPPORTED_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            MediaType.APPLICATION_NDJSON, APPLICATION_CBOR_SEQ);
+
+    private final CodeRunner runner;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    public ExecutionResultController(CodeRunner runner, ObjectMapper jsonMapper, Jackson2ObjectMapperBuilder mapperBuilder) {
+        this.runner = runner;
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = mapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    @PostMapping("/run-java")
+    public void runJava(@RequestBody String javaCode, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respond(request, response, output -> runner.executeJava(javaCode, output));
+    }
+
+    @PostMapping("/run-java-tests")
+    public void runTestCases(@RequestBody Map<String, Object> requestBody, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respond(request, response, output -> runner.executeTests(requestBody));
+    }
+
+    @PostMapping("/run-python")
+    public void runPython(@RequestBody String code, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respond(request, response, output -> runner.executePython(code, output));
+    }
+
+    @PostMapping("/run-js")
+    public void runJavaScript(@RequestBody String code, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respond(request, response, output -> runner.executeJavaScript(code, output));
+    }
+
+    @PostMapping("/run-c")
+    public void runC(@RequestBody String code, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respond(request, response, output -> runner.executeC(code, output));
+    }
+
+    @PostMapping("/run-cpp")
+    public void runCpp(@RequestBody String code, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        respond(request, response, output -> runner.executeCpp(code, output));
+    }
+
+    /**
+     * Tenant rejections raised by {@link TenantInterceptor}, rendered as a typed
+     * result instead of the plain-text body used by the legacy endpoints.
+     */
+    @ExceptionHandler(TenantRejectedException.class)
+    public void handleRejected(TenantRejectedException e, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Status status = switch (e.getStatus()) {
+            case UNAUTHORIZED -> Status.UNAUTHORIZED;
+            case TOO_MANY_REQUESTS -> Status.RATE_LIMITED;
+            default -> Status.SERVER_BUSY;
+        };
+        if (e.getRetryAfterSeconds() > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        ExecutionResult result = ExecutionResult.builder().message(e.getMessage()).build(status);
+        respond(request, response, output -> result);
+    }
+
+    private void respond(HttpServletRequest request, HttpServletResponse response,
+                         Function<OutputSink, ExecutionResult> execution) throws IOException {
+        MediaType mediaType = negotiate(request);
+        response.setContentType(mediaType.toString());
+
+        if (mediaType.equals(MediaType.APPLICATION_JSON) || mediaType.equals(MediaType.APPLICATION_CBOR)) {
+            ExecutionResult result = execution.apply(new BufferedOutput());
+            response.setStatus(httpStatus(result).value());
+            mapperFor(mediaType).writeValue(response.getOutputStream(), result);
+            return;
+        }
+
+        byte[] separator = mediaType.equals(MediaType.APPLICATION_NDJSON) ? new byte[]{'\n'} : new byte[0];
+        EventStream events = new EventStream(mapperFor(mediaType), separator, response.getOutputStream());
+        ExecutionResult result = execution.apply(events);
+        if (!response.isCommitted()) {
+            response.setStatus(httpStatus(result).value());
+        }
+        events.write(new OutputEvent(null, null, result));
+    }
+
+    // Most preferred acceptable type we can produce; JSON when the client has no preference
+    private static MediaType negotiate(HttpServletRequest request) {
+        List<MediaType> accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType acceptable : accepted) {
+            for (MediaType supported : SUPPORTED_TYPES) {
+                if (acceptable.includes(supported)) return supported;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        return mediaType.equals(MediaType.APPLICATION_CBOR) || mediaType.equals(APPLICATION_CBOR_SEQ) ? cborMapper : jsonMapper;
+    }
+
+    private static HttpStatus httpStatus(ExecutionResult result) {
+        return switch (result.status()) {
+            case INVALID_REQUEST -> HttpStatus.BAD_REQUEST;
+            case SERVER_ERROR, ENVIRONMENT_ERROR -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case UNAUTHORIZED -> HttpStatus.UNAUTHORIZED;
+            case RATE_LIMITED -> HttpStatus.TOO_MANY_REQUESTS;
+            case SERVER_BUSY -> HttpStatus.SERVICE_UNAVAILABLE;
+            default -> HttpStatus.OK;
+        };
+    }
+
+    /**
+     * Writes each event as soon as it is produced, flushing so the client sees
+     * output while the program is still running. Called from both pump threads.
+     */
+    private static class EventStream implements OutputSink {
+        private final ObjectMapper mapper;
+        private final byte[] separator;
+        private final OutputStream out;
+
+        EventStream(ObjectMapper mapper, byte[] separator, OutputStream out) {
+            this.mapper = mapper;
+            this.separator = separator;
+            this.out = out;
+        }
+
+        @Override
+        public void stdout(String chunk) throws IOException {
+            write(new OutputEvent(chunk, null, null));
+        }
+
+        @Override
+        public void stderr(String chunk) throws IOException {
+            write(new OutputEvent(null, chunk, null));
+        }
+
+        synchronized void write(OutputEvent event) throws IOException {
+            out.write(mapper.writeValueAsBytes(event));
+            out.write(separator);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.javabackend;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Creates OpenTelemetry spans for a code submission and each of its stages
+ * (compile, process start, execute/junit, output reading).
+ */
+@Component
+public class ExecutionTracer {
+
+    static final AttributeKey<String> LANGUAGE = AttributeKey.stringKey("code.language");
+    static final AttributeKey<Long> SOURCE_SIZE = AttributeKey.longKey("code.source_size");
+    static final AttributeKey<Long> EXIT_CODE = AttributeKey.longKey("process.exit.code");
+    static final AttributeKey<Boolean> TIMED_OUT = AttributeKey.booleanKey("process.timed_out");
+
+    private final Tracer tracer;
+
+    public ExecutionTracer(ObjectProvider<OpenTelemetry> openTelemetry) {
+        this.tracer = openTelemetry.getIfAvailable(OpenTelemetry::noop).getTracer("coderunner");
+    }
+
+    /**
+     * Root span for one submission; must be closed once the response is ready.
+     */
+    public TracedStage submission(String language, String code) {
+        long size = code == null ? 0 : code.getBytes(StandardCharsets.UTF_8).length;
+        return new TracedStage(tracer.spanBuilder("submission")
+                .setAttribute(LANGUAGE, language)
+                .setAttribute(SOURCE_SIZE, size)
+                .startSpan());
+    }
+
+    public TracedStage stage(String name) {
+        return new TracedStage(tracer.spanBuilder(name).startSpan());
+    }
+}
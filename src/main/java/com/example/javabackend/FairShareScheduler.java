@@ -0,0 +1,144 @@
+package com.example.javabackend;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out a fixed number of execution slots using weighted fair queuing.
+ * Every waiting submission is stamped with a virtual finish time of
+ * {@code max(virtualTime, tenant's last finish) + 1 / weight}; free slots go to
+ * the smallest stamp, so a tenant flooding the queue only delays itself.
+ * Each waiter blocks a request thread, so the queue length and wait time are
+ * bounded to keep the connector pool available for other requests.
+ */
+@Component
+public class FairShareScheduler {
+
+    private final int slots;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+    private int inUse;
+    private long sequence;
+    private double virtualTime;
+    private final Map<String, Double> lastFinish = new HashMap<>();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+
+    public FairShareScheduler(@Value("${tenant.scheduler.slots:0}") int slots,
+                              @Value("${tenant.scheduler.max-queue:64}") int maxQueue,
+                              @Value("${tenant.scheduler.max-wait-seconds:30}") long maxWaitSeconds) {
+        this.slots = slots > 0 ? slots : Runtime.getRuntime().availableProcessors();
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = TimeUnit.SECONDS.toMillis(maxWaitSeconds);
+    }
+
+    /**
+     * Blocks until the tenant is granted an execution slot.
+     * Every call that returns {@code true} must be paired with {@link #release()}.
+     *
+     * @return false if the queue is full or no slot was granted within the maximum wait
+     */
+    public synchronized boolean acquire(String tenant, double weight) throws InterruptedException {
+        if (inUse >= slots && waiting.size() >= maxQueue) {
+            return false;
+        }
+
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(tenant, 0d));
+        Ticket ticket = new Ticket(tenant, 1 / weight, start + 1 / weight, sequence++);
+        lastFinish.put(tenant, ticket.finishTag);
+
+        if (inUse < slots && waiting.isEmpty()) {
+            // Uncontended: let virtual time follow the tenant so idle history isn't banked
+            virtualTime = start;
+            inUse++;
+            return true;
+        }
+
+        waiting.add(ticket);
+        long deadline = System.currentTimeMillis() + maxWaitMillis;
+        try {
+            while (!ticket.granted) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    cancel(ticket);
+                    return false;
+                }
+                wait(remaining);
+            }
+            // wait() may return normally when a grant races an interrupt; don't keep the slot
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            if (ticket.granted) {
+                release();
+            } else {
+                cancel(ticket);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Withdraws a ticket that was never granted and gives the tenant back its
+     * share: its later tickets were stamped on top of this one, so they move up.
+     */
+    private void cancel(Ticket ticket) {
+        waiting.remove(ticket);
+        List<Ticket> later = new ArrayList<>();
+        for (Ticket other : waiting) {
+            if (other.tenant.equals(ticket.tenant) && other.seq > ticket.seq) later.add(other);
+        }
+        waiting.removeAll(later);
+        for (Ticket other : later) {
+            other.finishTag -= ticket.cost;
+            waiting.add(other);
+        }
+        lastFinish.computeIfPresent(ticket.tenant, (t, finish) -> finish - ticket.cost);
+    }
+
+    public synchronized void release() {
+        inUse--;
+        while (inUse < slots && !waiting.isEmpty()) {
+            Ticket next = waiting.poll();
+            virtualTime = next.finishTag;
+            next.granted = true;
+            inUse++;
+        }
+        // Forget tenants whose share is fully caught up so the map stays small
+        lastFinish.values().removeIf(finish -> finish <= virtualTime);
+        notifyAll();
+    }
+
+    synchronized int queueLength() {
+        return waiting.size();
+    }
+
+    private static final class Ticket implements Comparable<Ticket> {
+        final String tenant;
+        final double cost;
+        final long seq;
+        double finishTag;
+        boolean granted;
+
+        Ticket(String tenant, double cost, double finishTag, long seq) {
+            this.tenant = tenant;
+            this.cost = cost;
+            this.finishTag = finishTag;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int cmp = Double.compare(finishTag, other.finishTag);
+            return cmp != 0 ? cmp : Long.compare(seq, other.seq);
+        }
+    }
+}
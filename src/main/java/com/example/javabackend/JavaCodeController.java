@@ -400,15 +400,13 @@
 
 package com.example.javabackend;
 
+import com.example.javabackend.ExecutionResult.Status;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @RestController
@@ -416,8 +414,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class JavaCodeController {
 
-    private static final String CLASS_NAME = "Main";
-    private static final String TEST_CLASS_NAME = "MainTest";
+    private final TenantRegistry tenantRegistry;
+    private final CodeRunner runner;
+
+    public JavaCodeController(TenantRegistry tenantRegistry, CodeRunner runner) {
+        this.tenantRegistry = tenantRegistry;
+        this.runner = runner;
+    }
 
     /**
      * NEW: Simplified Java Execution (from src2)
@@ -425,188 +428,55 @@ public class JavaCodeController {
      */
     @PostMapping("/v2/run-java")
     public String runJavaCodeV2(@RequestBody String javaCode) {
-        // Basic validation
-        if (!javaCode.contains("public class Main")) {
-            return "Error: Java code must contain a 'public class Main'.";
-        }
-
-        File javaFile = new File("Main.java");
-        File classFile = new File("Main.class");
-        String result;
-
-        try (FileWriter writer = new FileWriter(javaFile)) {
-            writer.write(javaCode);
-            writer.flush();
-
-            // 1. Compile the Java file
-            Process compileProcess = new ProcessBuilder("javac", "Main.java").start();
-            if (!compileProcess.waitFor(10, TimeUnit.SECONDS)) {
-                compileProcess.destroy();
-                return "Error: Compilation timed out.";
-            }
-
-            if (compileProcess.exitValue() != 0) {
-                String compileError = readInputStream(compileProcess.getErrorStream());
-                return "Compilation error:\n" + compileError;
-            }
-
-            // 2. Run the compiled Java class
-            Process runProcess = new ProcessBuilder("java", "Main").start();
-            if (!runProcess.waitFor(10, TimeUnit.SECONDS)) {
-                runProcess.destroy();
-                return "Error: Execution timed out.";
-            }
-
-            String runOutput = readInputStream(runProcess.getInputStream());
-            String runError = readInputStream(runProcess.getErrorStream());
-
-            if (runProcess.exitValue() != 0) {
-                return "Runtime error:\n" + runError;
-            }
-
-            result = runOutput;
-
-        } catch (IOException | InterruptedException e) {
-            result = "Server error: " + e.getMessage();
-        } finally {
-            // 3. Clean up the files
-            if (javaFile.exists()) javaFile.delete();
-            if (classFile.exists()) classFile.delete();
-        }
-
-        return result;
+        ExecutionResult result = runner.executeJava(javaCode);
+        return switch (result.status()) {
+            case INVALID_REQUEST -> "Error: " + result.message();
+            case COMPILATION_TIMEOUT -> "Error: Compilation timed out.";
+            case COMPILATION_ERROR -> "Compilation error:\n" + result.stderr();
+            case TIMEOUT -> "Error: Execution timed out.";
+            case RUNTIME_ERROR -> "Runtime error:\n" + result.stderr();
+            case SERVER_ERROR -> "Server error: " + result.message();
+            default -> result.stdout();
+        };
     }
 
     // --- EXISTING MULTI-LANGUAGE METHODS ---
 
     @PostMapping("/run-java")
     public Map<String, Object> runTestCases(@RequestBody Map<String, Object> requestBody) {
-        String javaCode = (String) requestBody.get("code");
-        java.util.List<Map<String, Object>> testCases = (java.util.List<Map<String, Object>>) requestBody.get("testCases");
+        ExecutionResult result = runner.executeTests(requestBody);
+        if (result.status() == Status.COMPILATION_ERROR) {
+            return Map.of("error", "Compilation failed:\n" + result.stderr());
+        }
+        if (result.status() == Status.SERVER_ERROR) {
+            return Map.of("error", "Server error: " + result.message());
+        }
+        if (result.status() == Status.ENVIRONMENT_ERROR || result.status() == Status.INVALID_REQUEST) {
+            return Map.of("error", result.message());
+        }
 
-        File javaFile = new File(CLASS_NAME + ".java");
-        File testFile = new File(TEST_CLASS_NAME + ".java");
         Map<String, Object> response = new HashMap<>();
-
-        try {
-            try (FileWriter writer = new FileWriter(javaFile)) {
-                writer.write(javaCode);
-            }
-            
-            String testCode = generateTestClass(testCases);
-            try (FileWriter writer = new FileWriter(testFile)) {
-                writer.write(testCode);
-            }
-
-            StringBuilder classpathBuilder = new StringBuilder();
-            classpathBuilder.append(System.getProperty("java.class.path"));
-            
-            File targetClasses = new File("target/classes");
-            if (targetClasses.exists()) {
-                classpathBuilder.append(File.pathSeparator).append(targetClasses.getAbsolutePath());
-            }
-            
-            File targetDependency = new File("target/dependency");
-            if (targetDependency.exists()) {
-                File[] jars = targetDependency.listFiles((dir, name) -> name.endsWith(".jar"));
-                if (jars != null) {
-                    for (File jar : jars) {
-                        classpathBuilder.append(File.pathSeparator).append(jar.getAbsolutePath());
-                    }
-                }
-            }
-            
-            String classpath = classpathBuilder.toString();
-            
-            ProcessBuilder compileProcessBuilder = new ProcessBuilder(
-                "javac",
-                "-d", "target/classes",
-                "-cp", classpath,
-                javaFile.getPath(),
-                testFile.getPath()
-            );
-            
-            Process compileProcess = compileProcessBuilder.start();
-            String compilationErrors = readInputStream(compileProcess.getErrorStream());
-            
-            int exitCode = compileProcess.waitFor();
-            if (exitCode != 0) {
-                return Map.of("error", "Compilation failed:\n" + compilationErrors);
-            }
-
-            File junitStandaloneJar = null;
-            if (targetDependency.exists()) {
-                File[] jars = targetDependency.listFiles((dir, name) -> name.contains("junit-platform-console-standalone"));
-                if (jars != null && jars.length > 0) junitStandaloneJar = jars[0];
-            }
-            
-            if (junitStandaloneJar == null) {
-                return Map.of("error", "JUnit Standalone JAR not found in target/dependency.");
-            }
-            
-            String testClasspath = "target/classes" + File.pathSeparator + junitStandaloneJar.getAbsolutePath();
-            ProcessBuilder testProcessBuilder = new ProcessBuilder(
-                "java", "-cp", testClasspath, "org.junit.platform.console.ConsoleLauncher",
-                "--select-class=" + TEST_CLASS_NAME, "--details=summary"
-            );
-            
-            Process testProcess = testProcessBuilder.start();
-            String testOutput = readInputStream(testProcess.getInputStream());
-            int testExitCode = testProcess.waitFor();
-            
-            int passed = 0, failed = 0, total = 0;
-            String[] lines = testOutput.split("\n");
-            for (String line : lines) {
-                String cleanLine = line.replaceAll("[\\[\\]]", "").trim();
-                if (cleanLine.contains("tests found")) total = extractNumber(cleanLine);
-                else if (cleanLine.contains("tests successful")) passed = extractNumber(cleanLine);
-                else if (cleanLine.contains("tests failed")) failed = extractNumber(cleanLine);
-            }
-            
-            response.put("passed", passed);
-            response.put("failed", failed);
-            response.put("total", total);
-            response.put("success", testExitCode == 0);
-            
-        } catch (Exception e) {
-            response.put("error", "Server error: " + e.getMessage());
-        } finally {
-            if (javaFile.exists()) javaFile.delete();
-            if (testFile.exists()) testFile.delete();
-        }
+        response.put("passed", result.tests().passed());
+        response.put("failed", result.tests().failed());
+        response.put("total", result.tests().total());
+        response.put("success", result.status() == Status.SUCCESS);
         return response;
     }
 
-    private String generateTestClass(java.util.List<Map<String, Object>> testCases) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("import org.junit.jupiter.api.Test;\nimport static org.junit.jupiter.api.Assertions.*;\n\n");
-        sb.append("public class MainTest {\n");
-        for (int i = 0; i < testCases.size(); i++) {
-            Map<String, Object> testCase = testCases.get(i);
-            sb.append("    @Test\n    void testCase" + (i + 1) + "() {\n");
-            sb.append("        Main main = new Main();\n");
-            sb.append("        int[] expectedArray = new int[]{" + testCase.get("expected") + "};\n");
-            sb.append("        int[] actualArray = main.run(new int[]{" + testCase.get("input") + "});\n");
-            sb.append("        assertArrayEquals(expectedArray, actualArray);\n    }\n\n");
-        }
-        sb.append("}\n");
-        return sb.toString();
-    }
-
     @PostMapping("/run-python")
-    public String runPython(@RequestBody String code) { return runInterpreter("main.py", code, "python3", "main.py"); }
+    public String runPython(@RequestBody String code) { return interpreterText(runner.executePython(code)); }
 
     @PostMapping("/run-js")
-    public String runJavaScript(@RequestBody String code) { return runInterpreter("main.js", code, "node", "main.js"); }
+    public String runJavaScript(@RequestBody String code) { return interpreterText(runner.executeJavaScript(code)); }
 
     @PostMapping("/run-c")
     public String runC(@RequestBody String code) {
-        return runCompiledCode("main.c", code, "gcc main.c -o a.out", "./a.out");
+        return compiledText(runner.executeC(code));
     }
 
     @PostMapping("/run-cpp")
     public String runCpp(@RequestBody String code) {
-        return runCompiledCode("main.cpp", code, "g++ main.cpp -o a.out", "./a.out");
+        return compiledText(runner.executeCpp(code));
     }
 
     /**
@@ -617,35 +487,34 @@ public class JavaCodeController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.status(HttpStatus.OK).body("OK");
     }
-    private String runInterpreter(String fileName, String code, String... command) {
-        try {
-            try (FileWriter writer = new FileWriter(fileName)) { writer.write(code); }
-            Process process = new ProcessBuilder(command).start();
-            if (!process.waitFor(15, TimeUnit.SECONDS)) return "Error: Timeout";
-            String error = readInputStream(process.getErrorStream());
-            return error.isEmpty() ? readInputStream(process.getInputStream()) : "Error: " + error;
-        } catch (Exception e) { return "Error: " + e.getMessage(); }
-        finally { new File(fileName).delete(); }
-    }
 
-    private String runCompiledCode(String sourceFile, String code, String compileCmd, String execCmd) {
-        try {
-            try (FileWriter writer = new FileWriter(sourceFile)) { writer.write(code); }
-            Process compile = new ProcessBuilder(compileCmd.split(" ")).start();
-            if (compile.waitFor() != 0) return "Compilation Error: " + readInputStream(compile.getErrorStream());
-            Process exec = new ProcessBuilder(execCmd).start();
-            return readInputStream(exec.getInputStream());
-        } catch (Exception e) { return "Error: " + e.getMessage(); }
-        finally { new File(sourceFile).delete(); new File(execCmd).delete(); }
+    /**
+     * Usage counters for the calling tenant (identified by X-API-Key or remote address).
+     * Maps to: GET /api/usage
+     */
+    @GetMapping("/usage")
+    public Map<String, Object> usage(HttpServletRequest request) {
+        String tenant = tenantRegistry.resolveTenant(request);
+        Map<String, Object> response = new HashMap<>(tenantRegistry.usageOf(tenant).snapshot());
+        response.put("tenant", tenant);
+        return response;
     }
 
-    private String readInputStream(InputStream is) throws IOException {
-        return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))
-                .lines().collect(Collectors.joining("\n"));
+    // Legacy plain-text rendering for /run-python and /run-js: any stderr output is reported as an error
+    private String interpreterText(ExecutionResult result) {
+        return switch (result.status()) {
+            case TIMEOUT -> "Error: Timeout";
+            case SERVER_ERROR -> "Error: " + result.message();
+            default -> result.stderr().isEmpty() ? result.stdout() : "Error: " + result.stderr();
+        };
     }
 
-    private int extractNumber(String line) {
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile("\\d+").matcher(line);
-        return m.find() ? Integer.parseInt(m.group()) : 0;
+    // Legacy plain-text rendering for /run-c and /run-cpp
+    private String compiledText(ExecutionResult result) {
+        return switch (result.status()) {
+            case COMPILATION_ERROR -> "Compilation Error: " + result.stderr();
+            case SERVER_ERROR -> "Error: " + result.message();
+            default -> result.stdout();
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.javabackend;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One element of a streamed /api/v3 response ({@code application/x-ndjson} or
+ * {@code application/cbor-seq}). Exactly one field is set: a chunk of program
+ * output as it was produced, or, as the last element, the result. Output that
+ * was streamed is not repeated in the result.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OutputEvent(String stdout, String stderr, ExecutionResult result) {
+}
@@ -0,0 +1,63 @@
+package com.example.javabackend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Drains a child process's stdout and stderr on background threads while it
+ * runs, handing each chunk to an {@link OutputSink}. The child never blocks on
+ * a full pipe, and waiting for it measures run time rather than output reading.
+ * If the sink fails (the client went away), the process is destroyed.
+ */
+final class OutputPump {
+
+    private final Process process;
+    private final Thread stdoutThread;
+    private final Thread stderrThread;
+
+    private OutputPump(Process process, OutputSink sink) {
+        this.process = process;
+        this.stdoutThread = drain(process.getInputStream(), sink::stdout, "stdout-pump");
+        this.stderrThread = drain(process.getErrorStream(), sink::stderr, "stderr-pump");
+    }
+
+    static OutputPump start(Process process, OutputSink sink) {
+        return new OutputPump(process, sink);
+    }
+
+    /**
+     * Waits for both streams to reach end-of-file, which normally happens as the
+     * process exits; bounded in case a grandchild keeps the pipes open.
+     */
+    void await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        stdoutThread.join(Math.max(1, deadline - System.currentTimeMillis()));
+        stderrThread.join(Math.max(1, deadline - System.currentTimeMillis()));
+    }
+
+    private interface Chunks {
+        void accept(String chunk) throws IOException;
+    }
+
+    private Thread drain(InputStream in, Chunks chunks, String name) {
+        Thread thread = new Thread(() -> {
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                char[] buffer = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    chunks.accept(new String(buffer, 0, read));
+                }
+            } catch (IOException e) {
+                // Either the process was destroyed under us or the sink failed;
+                // nobody is left to read the output, so stop the program too
+                process.destroy();
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
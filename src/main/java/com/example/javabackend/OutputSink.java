@@ -0,0 +1,23 @@
+package com.example.javabackend;
+
+import java.io.IOException;
+
+/**
+ * Receives a running program's output as {@link OutputPump} drains it. Chunks
+ * arrive from the stdout and stderr pump threads concurrently, so
+ * implementations must be thread-safe.
+ */
+public interface OutputSink {
+
+    void stdout(String chunk) throws IOException;
+
+    void stderr(String chunk) throws IOException;
+
+    /**
+     * Called once the program has exited and its output is drained. Sinks that
+     * keep output back add it to the result here; streaming sinks have already
+     * sent everything.
+     */
+    default void complete(ExecutionResult.Builder result) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.javabackend;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableScheduling
+public class TenantConfig implements WebMvcConfigurer {
+
+    private final TenantInterceptor tenantInterceptor;
+
+    public TenantConfig(TenantInterceptor tenantInterceptor) {
+        this.tenantInterceptor = tenantInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Only code execution endpoints are metered; health and usage stay free
+        registry.addInterceptor(tenantInterceptor)
+                .addPathPatterns("/api/run-*", "/api/v2/run-*", "/api/v3/run-*");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.javabackend;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class TenantExceptionHandler {
+
+    @ExceptionHandler(TenantRejectedException.class)
+    public ResponseEntity<String> handleRejected(TenantRejectedException e) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus()).contentType(MediaType.TEXT_PLAIN);
+        if (e.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return response.body("Error: " + e.getMessage());
+    }
+}
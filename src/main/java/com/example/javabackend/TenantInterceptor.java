@@ -0,0 +1,69 @@
+package com.example.javabackend;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Guards the execution endpoints: rejects unknown API keys with 401 and tenants
+ * over their rate limit with 429, and holds a fair-share execution slot for
+ * the duration of the request (503 if none frees up in time).
+ */
+@Component
+public class TenantInterceptor implements HandlerInterceptor {
+
+    private static final String TENANT_ATTR = TenantInterceptor.class.getName() + ".tenant";
+    private static final String SLOT_START_ATTR = TenantInterceptor.class.getName() + ".slotStart";
+    private static final long BUSY_RETRY_AFTER_SECONDS = 5;
+
+    private final TenantRegistry registry;
+    private final FairShareScheduler scheduler;
+    private final ExecutionTracer tracer;
+
+    public TenantInterceptor(TenantRegistry registry, FairShareScheduler scheduler, ExecutionTracer tracer) {
+        this.registry = registry;
+        this.scheduler = scheduler;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (CorsUtils.isPreFlightRequest(request)) return true;
+
+        String tenant = registry.resolveTenant(request);
+        TenantUsage usage = registry.usageOf(tenant);
+        TokenBucket bucket = registry.bucketOf(tenant);
+
+        if (!bucket.tryConsume()) {
+            usage.recordRejected();
+            throw new TenantRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Rate limit exceeded, retry later.", Math.max(1, bucket.secondsUntilNextToken()));
+        }
+
+        try (TracedStage wait = tracer.stage("scheduler.wait")) {
+            if (!scheduler.acquire(tenant, registry.weightOf(tenant))) {
+                usage.recordRejected();
+                wait.error("no execution slot available");
+                throw new TenantRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Server busy, retry later.", BUSY_RETRY_AFTER_SECONDS);
+            }
+        }
+        usage.recordSubmission();
+        request.setAttribute(TENANT_ATTR, tenant);
+        request.setAttribute(SLOT_START_ATTR, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String tenant = (String) request.getAttribute(TENANT_ATTR);
+        if (tenant == null) return;
+
+        long start = (Long) request.getAttribute(SLOT_START_ATTR);
+        scheduler.release();
+        registry.usageOf(tenant).recordExecution(System.nanoTime() - start);
+    }
+}
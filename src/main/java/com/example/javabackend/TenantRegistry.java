@@ -0,0 +1,113 @@
+package com.example.javabackend;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifies the tenant behind a request and keeps its rate limit and usage.
+ * Clients identify themselves with an {@code X-API-Key} header listed in
+ * {@code tenant.weights}; requests without one are grouped by remote address
+ * (see application.properties before enabling forwarded headers behind a proxy).
+ */
+@Component
+public class TenantRegistry {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String KEY_PREFIX = "key:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final long idleTimeoutNanos;
+    private final Map<String, Double> weights = new HashMap<>();
+    private final Map<String, TenantState> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * @param weightSpec comma separated {@code apiKey=weight} pairs, e.g. {@code classroom-a=2,grader=4};
+     *                   these are the only API keys accepted
+     */
+    public TenantRegistry(@Value("${tenant.rate.permits-per-second:0.5}") double permitsPerSecond,
+                          @Value("${tenant.rate.burst:10}") double burst,
+                          @Value("${tenant.weights:}") String weightSpec,
+                          @Value("${tenant.idle-timeout-seconds:600}") long idleTimeoutSeconds) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        for (String entry : weightSpec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length == 2 && !parts[0].isBlank()) {
+                double weight = Double.parseDouble(parts[1].trim());
+                if (!(weight > 0) || Double.isInfinite(weight)) {
+                    throw new IllegalArgumentException("tenant.weights: weight for '" + parts[0].trim()
+                            + "' must be a positive number, got " + parts[1].trim());
+                }
+                weights.put(KEY_PREFIX + parts[0].trim(), weight);
+            }
+        }
+    }
+
+    /**
+     * @throws TenantRejectedException with 401 if the request carries an API key that isn't configured
+     */
+    public String resolveTenant(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            String tenant = KEY_PREFIX + apiKey.trim();
+            if (!weights.containsKey(tenant)) {
+                throw new TenantRejectedException(HttpStatus.UNAUTHORIZED, "Unknown API key.");
+            }
+            return tenant;
+        }
+        return IP_PREFIX + request.getRemoteAddr();
+    }
+
+    public double weightOf(String tenant) {
+        return weights.getOrDefault(tenant, 1d);
+    }
+
+    public TokenBucket bucketOf(String tenant) {
+        return stateOf(tenant).bucket;
+    }
+
+    public TenantUsage usageOf(String tenant) {
+        return stateOf(tenant).usage;
+    }
+
+    /**
+     * Drops address-based tenants that have been idle for longer than the idle timeout.
+     * Their bucket would have refilled completely by then, so only usage history is lost.
+     */
+    @Scheduled(fixedDelayString = "${tenant.eviction-interval-ms:60000}")
+    public void evictIdleTenants() {
+        long now = System.nanoTime();
+        tenants.entrySet().removeIf(e -> e.getKey().startsWith(IP_PREFIX)
+                && now - e.getValue().lastSeen > idleTimeoutNanos);
+    }
+
+    private TenantState stateOf(String tenant) {
+        TenantState state = tenants.computeIfAbsent(tenant, t -> new TenantState(
+                // Heavier tenants get a proportionally larger bucket and refill rate
+                new TokenBucket(burst * weightOf(t), permitsPerSecond * weightOf(t))));
+        state.lastSeen = System.nanoTime();
+        return state;
+    }
+
+    private static final class TenantState {
+        final TokenBucket bucket;
+        final TenantUsage usage = new TenantUsage();
+        volatile long lastSeen;
+
+        TenantState(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
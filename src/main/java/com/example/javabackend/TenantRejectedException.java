@@ -0,0 +1,34 @@
+package com.example.javabackend;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is turned away before execution: unknown API key,
+ * rate limit exceeded, or no execution slot available in time.
+ */
+public class TenantRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public TenantRejectedException(HttpStatus status, String message) {
+        this(status, message, 0);
+    }
+
+    public TenantRejectedException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Seconds the client should wait before retrying, or 0 if retrying won't help.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.javabackend;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tenant usage counters.
+ * Execution time is reported as slot-seconds: wall-clock time a submission held
+ * an execution slot, including compilation, output reading and response writing.
+ */
+public class TenantUsage {
+
+    private final AtomicLong submissions = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong slotNanos = new AtomicLong();
+
+    public void recordSubmission() { submissions.incrementAndGet(); }
+
+    public void recordRejected() { rejected.incrementAndGet(); }
+
+    public void recordExecution(long nanos) { slotNanos.addAndGet(nanos); }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("submissions", submissions.get());
+        snapshot.put("rejected", rejected.get());
+        snapshot.put("slotSeconds", slotNanos.get() / 1_000_000_000d);
+        return snapshot;
+    }
+}
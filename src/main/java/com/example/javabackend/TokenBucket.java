@@ -0,0 +1,50 @@
+package com.example.javabackend;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills
+ * continuously at {@code permitsPerSecond}. Each submission costs one token.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double permitsPerSecond) {
+        this(capacity, permitsPerSecond, System::nanoTime);
+    }
+
+    TokenBucket(double capacity, double permitsPerSecond, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.refillPerNano = permitsPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryConsume() {
+        refill();
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Seconds until the next token becomes available (0 if one is ready now).
+     */
+    public synchronized long secondsUntilNextToken() {
+        refill();
+        if (tokens >= 1 || refillPerNano <= 0) return 0;
+        return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000d);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
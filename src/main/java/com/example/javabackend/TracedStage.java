@@ -0,0 +1,46 @@
+package com.example.javabackend;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+
+/**
+ * A span that is current on this thread until {@link #close()}, so stages
+ * started inside it become its children.
+ */
+public class TracedStage implements AutoCloseable {
+
+    private final Span span;
+    private final Scope scope;
+
+    TracedStage(Span span) {
+        this.span = span;
+        this.scope = span.makeCurrent();
+    }
+
+    public TracedStage exitCode(int exitCode) {
+        span.setAttribute(ExecutionTracer.EXIT_CODE, (long) exitCode);
+        return this;
+    }
+
+    public TracedStage timedOut() {
+        span.setAttribute(ExecutionTracer.TIMED_OUT, true);
+        return error("timed out");
+    }
+
+    public TracedStage error(String description) {
+        span.setStatus(StatusCode.ERROR, description);
+        return this;
+    }
+
+    public TracedStage error(Throwable t) {
+        span.recordException(t);
+        return error(t.getMessage());
+    }
+
+    @Override
+    public void close() {
+        scope.close();
+        span.end();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.javabackend;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OTLP export to a collector is configured through management.otlp.tracing.endpoint.
+ * For hosts without a collector, tracing.file-export.enabled=true writes every
+ * span as an OTLP JSON line to the application log (see logging.file.name).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file-export.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
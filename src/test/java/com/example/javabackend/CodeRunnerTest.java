@@ -0,0 +1,65 @@
+package com.example.javabackend;
+
+import com.example.javabackend.ExecutionResult.TestCaseResult;
+import com.example.javabackend.ExecutionResult.TestSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeRunnerTest {
+
+    // ConsoleLauncher output for --details=tree --details-theme=ascii --disable-ansi-colors
+    private static final String TREE_OUTPUT = String.join("\n",
+            ".",
+            "+-- JUnit Jupiter [OK]",
+            "| '-- MainTest [OK]",
+            "|   +-- testCase1() [OK]",
+            "|   +-- testCase2() [X] array contents differ at index [0], expected: <2> but was: <1>",
+            "|   '-- testCase3() [X] array contents differ at index [1], expected: <4> but was: <3>",
+            "+-- JUnit Vintage [OK]",
+            "'-- JUnit Platform Suite [OK]",
+            "",
+            "Failures (2):",
+            "  JUnit Jupiter:MainTest:testCase3()",
+            "    MethodSource [className = 'MainTest', methodName = 'testCase3', methodParameterTypes = '']",
+            "    => org.opentest4j.AssertionFailedError: array contents differ at index [1], expected: <4> but was: <3>",
+            "  JUnit Jupiter:MainTest:testCase2()",
+            "    MethodSource [className = 'MainTest', methodName = 'testCase2', methodParameterTypes = '']",
+            "    => org.opentest4j.AssertionFailedError: array contents differ at index [0], expected: <2> but was: <1>",
+            "",
+            "Test run finished after 52 ms",
+            "[         4 containers found      ]",
+            "[         0 containers skipped    ]",
+            "[         4 containers started    ]",
+            "[         0 containers aborted    ]",
+            "[         4 containers successful ]",
+            "[         0 containers failed     ]",
+            "[         3 tests found           ]",
+            "[         0 tests skipped         ]",
+            "[         3 tests started         ]",
+            "[         0 tests aborted         ]",
+            "[         1 tests successful      ]",
+            "[         2 tests failed          ]");
+
+    @Test
+    void parsesPerTestResultsWithTheirOwnFailureMessages() {
+        TestSummary summary = CodeRunner.parseTestOutput(TREE_OUTPUT);
+
+        assertEquals(List.of(
+                new TestCaseResult("testCase1", true, null),
+                new TestCaseResult("testCase2", false, "array contents differ at index [0], expected: <2> but was: <1>"),
+                new TestCaseResult("testCase3", false, "array contents differ at index [1], expected: <4> but was: <3>")),
+                summary.cases());
+    }
+
+    @Test
+    void parsesSummaryTotals() {
+        TestSummary summary = CodeRunner.parseTestOutput(TREE_OUTPUT);
+
+        assertEquals(3, summary.total());
+        assertEquals(1, summary.passed());
+        assertEquals(2, summary.failed());
+    }
+}
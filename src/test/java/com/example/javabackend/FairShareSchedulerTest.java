@@ -0,0 +1,159 @@
+package com.example.javabackend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairShareSchedulerTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private final FairShareScheduler scheduler = new FairShareScheduler(1, 16, 5);
+
+    /**
+     * Starts a thread that waits for a slot, records the tenant once granted and
+     * releases again; returns only after the thread is queued.
+     */
+    private Thread enqueue(String tenant, double weight, List<String> grants) throws InterruptedException {
+        int queued = scheduler.queueLength();
+        Thread thread = new Thread(() -> {
+            try {
+                if (scheduler.acquire(tenant, weight)) {
+                    grants.add(tenant);
+                    scheduler.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        awaitQueueLength(queued + 1);
+        return thread;
+    }
+
+    private void awaitQueueLength(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (scheduler.queueLength() != expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "queue never reached " + expected);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void uncontendedAcquireIsImmediate() throws InterruptedException {
+        assertTrue(scheduler.acquire("a", 1));
+        scheduler.release();
+        assertTrue(scheduler.acquire("b", 1));
+        scheduler.release();
+    }
+
+    @Test
+    void heavierTenantIsServedProportionallyMoreOften() throws InterruptedException {
+        List<String> grants = Collections.synchronizedList(new ArrayList<>());
+        assertTrue(scheduler.acquire("holder", 1));
+
+        // Finish tags: a -> 1, 2; b (weight 2) -> 0.5, 1, 1.5. Ties go to the earlier arrival.
+        List<Thread> threads = List.of(
+                enqueue("a", 1, grants),
+                enqueue("a", 1, grants),
+                enqueue("b", 2, grants),
+                enqueue("b", 2, grants),
+                enqueue("b", 2, grants));
+
+        scheduler.release();
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+        }
+
+        assertEquals(List.of("b", "a", "b", "b", "a"), grants);
+    }
+
+    @Test
+    void interruptAfterGrantReleasesTheSlot() throws InterruptedException {
+        assertTrue(scheduler.acquire("holder", 1));
+
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            try {
+                scheduler.acquire("waiter", 1);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        waiter.start();
+        awaitQueueLength(1);
+
+        // Interrupt and grant while holding the monitor, so the waiter wakes up
+        // with its ticket already granted and must hand the slot back.
+        synchronized (scheduler) {
+            waiter.interrupt();
+            scheduler.release();
+        }
+        waiter.join(TIMEOUT_MILLIS);
+
+        assertTrue(interrupted.get());
+        assertEquals(0, scheduler.queueLength());
+        assertTrue(scheduler.acquire("other", 1));
+        scheduler.release();
+    }
+
+    @Test
+    void withdrawnTicketDoesNotCountAgainstTheTenant() throws InterruptedException {
+        List<String> grants = Collections.synchronizedList(new ArrayList<>());
+        assertTrue(scheduler.acquire("holder", 1));
+
+        Thread abandoned = enqueue("a", 1, grants);
+        abandoned.interrupt();
+        abandoned.join(TIMEOUT_MILLIS);
+        awaitQueueLength(0);
+
+        // Had the withdrawn ticket kept its stamp, a would be at 2 and b (at 1) would go first
+        List<Thread> threads = List.of(enqueue("a", 1, grants), enqueue("b", 1, grants));
+        scheduler.release();
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+        }
+
+        assertEquals(List.of("a", "b"), grants);
+    }
+
+    @Test
+    void fullQueueIsRejected() throws InterruptedException {
+        FairShareScheduler small = new FairShareScheduler(1, 1, 5);
+        assertTrue(small.acquire("holder", 1));
+
+        Thread waiter = new Thread(() -> {
+            try {
+                if (small.acquire("waiter", 1)) small.release();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (small.queueLength() != 1) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+
+        assertFalse(small.acquire("extra", 1));
+
+        small.release();
+        waiter.join(TIMEOUT_MILLIS);
+    }
+
+    @Test
+    void waitIsBounded() throws InterruptedException {
+        FairShareScheduler impatient = new FairShareScheduler(1, 16, 0);
+        assertTrue(impatient.acquire("holder", 1));
+
+        assertFalse(impatient.acquire("waiter", 1));
+        assertEquals(0, impatient.queueLength());
+        impatient.release();
+    }
+}
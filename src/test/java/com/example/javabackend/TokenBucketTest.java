@@ -0,0 +1,65 @@
+package com.example.javabackend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void startsFullAndRejectsOnceDrained() {
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+
+        assertTrue(bucket.tryConsume());
+        assertTrue(bucket.tryConsume());
+        assertFalse(bucket.tryConsume());
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 1, clock::get);
+        assertTrue(bucket.tryConsume());
+
+        advanceMillis(500);
+        assertFalse(bucket.tryConsume());
+
+        advanceMillis(500);
+        assertTrue(bucket.tryConsume());
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+        assertTrue(bucket.tryConsume());
+        assertTrue(bucket.tryConsume());
+
+        advanceMillis(10_000);
+        assertTrue(bucket.tryConsume());
+        assertTrue(bucket.tryConsume());
+        assertFalse(bucket.tryConsume());
+    }
+
+    @Test
+    void secondsUntilNextTokenRoundsUp() {
+        TokenBucket bucket = new TokenBucket(1, 0.5, clock::get);
+        assertEquals(0, bucket.secondsUntilNextToken());
+
+        assertTrue(bucket.tryConsume());
+        assertEquals(2, bucket.secondsUntilNextToken());
+
+        advanceMillis(1_500);
+        assertEquals(1, bucket.secondsUntilNextToken());
+
+        advanceMillis(500);
+        assertEquals(0, bucket.secondsUntilNextToken());
+    }
+}